@@ -2,6 +2,7 @@ package com.diet.hub.config;
 
 import com.diet.hub.entity.Recipe;
 import com.diet.hub.repository.RecipeRepository;
+import com.diet.hub.service.RecipeCatalogCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -12,6 +13,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private RecipeRepository recipeRepository;
     
+    @Autowired
+    private RecipeCatalogCache recipeCatalogCache;
+    
     @Override
     public void run(String... args) throws Exception {
         if (recipeRepository.count() == 0) {
@@ -65,6 +69,9 @@ public class DataInitializer implements CommandLineRunner {
         recipe3.setTags("high-protein,omega-3,low-carb,gluten-free");
         recipeRepository.save(recipe3);
         
+        // The web server is already accepting requests, so drop anything cached before seeding
+        recipeCatalogCache.invalidate();
+        
         System.out.println("Sample recipes initialized successfully!");
     }
 }
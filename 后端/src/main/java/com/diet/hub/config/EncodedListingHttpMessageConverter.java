@@ -0,0 +1,63 @@
+package com.diet.hub.config;
+
+import com.diet.hub.service.RecipeCatalogCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes pre-encoded catalog bytes for whichever format content negotiation selected.
+ * When the handler has already set {@code Content-Encoding: gzip}, the gzipped copy is sent.
+ */
+@Component
+public class EncodedListingHttpMessageConverter
+        extends AbstractHttpMessageConverter<RecipeCatalogCache.EncodedListing> {
+
+    public EncodedListingHttpMessageConverter() {
+        super(RecipeCatalogCache.Format.JSON.getMediaType(), RecipeCatalogCache.Format.CBOR.getMediaType());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RecipeCatalogCache.EncodedListing.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RecipeCatalogCache.EncodedListing readInternal(
+            Class<? extends RecipeCatalogCache.EncodedListing> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded listings are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RecipeCatalogCache.EncodedListing listing, HttpOutputMessage outputMessage)
+            throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        RecipeCatalogCache.EncodedPayload payload = listing.encode(formatFor(headers.getContentType()));
+        byte[] body = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+                ? payload.gzippedBody()
+                : payload.body();
+        headers.setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    private static RecipeCatalogCache.Format formatFor(MediaType contentType) {
+        for (RecipeCatalogCache.Format format : RecipeCatalogCache.Format.values()) {
+            if (format.getMediaType().isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new HttpMessageNotWritableException("Unsupported content type: " + contentType);
+    }
+}
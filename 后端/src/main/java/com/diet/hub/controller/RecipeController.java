@@ -1,13 +1,17 @@
 package com.diet.hub.controller;
 
 import com.diet.hub.entity.Recipe;
+import com.diet.hub.service.RecipeCatalogCache;
 import com.diet.hub.service.RecipeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/recipes")
@@ -30,16 +34,18 @@ public class RecipeController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    @GetMapping
-    public ResponseEntity<List<Recipe>> getAllRecipes() {
-        List<Recipe> recipes = recipeService.getAllRecipes();
-        return ResponseEntity.ok(recipes);
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<RecipeCatalogCache.EncodedListing> getAllRecipes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encodedResponse(recipeService.getAllRecipes(), acceptEncoding);
     }
     
-    @GetMapping("/category/{category}")
-    public ResponseEntity<List<Recipe>> getRecipesByCategory(@PathVariable String category) {
-        List<Recipe> recipes = recipeService.getRecipesByCategory(category);
-        return ResponseEntity.ok(recipes);
+    @GetMapping(value = "/category/{category}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<RecipeCatalogCache.EncodedListing> getRecipesByCategory(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encodedResponse(recipeService.getRecipesByCategory(category), acceptEncoding);
     }
     
     @GetMapping("/search")
@@ -67,4 +73,50 @@ public class RecipeController {
         recipeService.deleteRecipe(id);
         return ResponseEntity.noContent().build();
     }
+    
+    // The format is picked by Spring's content negotiation; EncodedListingHttpMessageConverter then
+    // writes the cached bytes for it, switching to the gzipped copy when Content-Encoding is set here
+    private ResponseEntity<RecipeCatalogCache.EncodedListing> encodedResponse(
+            RecipeCatalogCache.EncodedListing listing, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(listing);
+    }
+    
+    // Per RFC 9110: an explicit "gzip" entry wins over "*", and a missing q means q=1
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String[] param = parts[i].split("=", 2);
+                if (param.length == 2 && param[0].trim().equalsIgnoreCase("q")) {
+                    try {
+                        quality = Double.parseDouble(param[1].trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("*")) {
+                wildcardQuality = quality;
+            } else {
+                gzipQuality = quality;
+            }
+        }
+        Double effective = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return effective != null && effective > 0;
+    }
 }
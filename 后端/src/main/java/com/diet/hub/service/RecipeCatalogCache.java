@@ -0,0 +1,147 @@
+package com.diet.hub.service;
+
+import com.diet.hub.entity.Recipe;
+import com.diet.hub.repository.RecipeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the recipe catalog and per-category listings as pre-encoded byte buffers
+ * (plain and gzipped) so read requests skip Jackson entirely. Entries are built on
+ * first request and dropped whenever a recipe is created, updated or deleted.
+ */
+@Component
+public class RecipeCatalogCache {
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+    }
+
+    public record EncodedPayload(byte[] body, byte[] gzippedBody) {
+    }
+
+    /**
+     * A catalog view whose encoding is resolved lazily, once content negotiation
+     * has settled on a response format.
+     */
+    @FunctionalInterface
+    public interface EncodedListing {
+        EncodedPayload encode(Format format);
+    }
+
+    private static final String ALL_KEY = "all";
+    private static final String CATEGORY_KEY_PREFIX = "category:";
+
+    private final RecipeRepository recipeRepository;
+    private final Map<Format, ObjectMapper> mappers;
+
+    // Swapped wholesale on invalidation so that a load racing with a write lands in the discarded map
+    private volatile Map<String, EncodedPayload> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecipeCatalogCache(RecipeRepository recipeRepository,
+                              ObjectMapper objectMapper,
+                              MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.recipeRepository = recipeRepository;
+        // Share the MVC converter's mapper so cached CBOR matches what other endpoints produce
+        this.mappers = Map.of(
+                Format.JSON, objectMapper,
+                Format.CBOR, cborConverter.getObjectMapper());
+    }
+
+    public EncodedListing getAllRecipes() {
+        return format -> lookup(ALL_KEY, format, recipeRepository::findAll, true);
+    }
+
+    public EncodedListing getRecipesByCategory(String category) {
+        // Empty results are not retained, which bounds the cache by the categories that actually exist
+        return format -> lookup(CATEGORY_KEY_PREFIX + category, format,
+                () -> recipeRepository.findByCategory(category), false);
+    }
+
+    /**
+     * Drops every cached payload. Inside a transaction this is deferred until commit,
+     * so concurrent readers cannot re-cache the pre-commit state.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        entries = new ConcurrentHashMap<>();
+    }
+
+    private EncodedPayload lookup(String key, Format format, Supplier<List<Recipe>> loader, boolean cacheEmpty) {
+        Map<String, EncodedPayload> current = entries;
+        String entryKey = key + "|" + format.name();
+        EncodedPayload cached = current.get(entryKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Recipe> recipes = loader.get();
+        EncodedPayload payload = encode(recipes, format);
+        if (cacheEmpty || !recipes.isEmpty()) {
+            EncodedPayload existing = current.putIfAbsent(entryKey, payload);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return payload;
+    }
+
+    private EncodedPayload encode(List<Recipe> recipes, Format format) {
+        byte[] body;
+        try {
+            body = mappers.get(format).writeValueAsBytes(recipes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode recipes as " + format, e);
+        }
+        return new EncodedPayload(body, gzip(body));
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
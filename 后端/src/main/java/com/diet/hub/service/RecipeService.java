@@ -4,6 +4,7 @@ import com.diet.hub.entity.Recipe;
 import com.diet.hub.repository.RecipeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -16,20 +17,28 @@ public class RecipeService {
     @Autowired
     private RecipeRepository recipeRepository;
     
+    @Autowired
+    private RecipeCatalogCache recipeCatalogCache;
+    
     public Recipe createRecipe(Recipe recipe) {
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        recipeCatalogCache.invalidate();
+        return saved;
     }
     
     public Optional<Recipe> getRecipeById(Long id) {
         return recipeRepository.findById(id);
     }
     
-    public List<Recipe> getAllRecipes() {
-        return recipeRepository.findAll();
+    // Encoding is deferred until the response format is known, so there is nothing to run in a transaction here
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public RecipeCatalogCache.EncodedListing getAllRecipes() {
+        return recipeCatalogCache.getAllRecipes();
     }
     
-    public List<Recipe> getRecipesByCategory(String category) {
-        return recipeRepository.findByCategory(category);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public RecipeCatalogCache.EncodedListing getRecipesByCategory(String category) {
+        return recipeCatalogCache.getRecipesByCategory(category);
     }
     
     public List<Recipe> searchRecipes(String keyword) {
@@ -58,10 +67,13 @@ public class RecipeService {
         recipe.setTags(recipeDetails.getTags());
         recipe.setImageUrl(recipeDetails.getImageUrl());
         
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        recipeCatalogCache.invalidate();
+        return saved;
     }
     
     public void deleteRecipe(Long id) {
         recipeRepository.deleteById(id);
+        recipeCatalogCache.invalidate();
     }
 }
@@ -0,0 +1,185 @@
+package com.diet.hub.controller;
+
+import com.diet.hub.entity.Recipe;
+import com.diet.hub.service.RecipeCatalogCache;
+import com.diet.hub.service.RecipeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecipeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void returnsJsonByDefault() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsByteArray()).isArray()).isTrue();
+    }
+
+    @Test
+    void returnsCborWhenPreferred() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/recipes")
+                        .header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode cbor = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        JsonNode json = objectMapper.readTree(mockMvc.perform(get("/api/recipes"))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertThat(cbor).isEqualTo(json);
+    }
+
+    @Test
+    void returnsJsonWhenWildcardOutranksCbor() throws Exception {
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT, "*/*, application/cbor;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/recipes/category/Salad").header(HttpHeaders.ACCEPT, "application/*, application/cbor;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void rejectsUnsupportedMediaType() throws Exception {
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT, "application/xml"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void cborDatesMatchOtherEndpoints() throws Exception {
+        byte[] catalog = mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode first = cborMapper.readTree(catalog).get(0);
+
+        byte[] single = mockMvc.perform(get("/api/recipes/" + first.get("id").asLong())
+                        .header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(first.get("createdAt").isTextual()).isTrue();
+        assertThat(cborMapper.readTree(single).get("createdAt")).isEqualTo(first.get("createdAt"));
+    }
+
+    @Test
+    void returnsGzippedBodyWhenAccepted() throws Exception {
+        byte[] plain = mockMvc.perform(get("/api/recipes"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult result = mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        assertThat(String.join(",", result.getResponse().getHeaders(HttpHeaders.VARY)).split("\\s*,\\s*"))
+                .contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(plain);
+
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT_ENCODING, "*"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void honoursZeroQualityForGzip() throws Exception {
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT_ENCODING, "gzip; Q=0.0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void writesThroughServiceRefreshCatalog() throws Exception {
+        Recipe recipe = new Recipe();
+        recipe.setName("Cache Test Oatmeal");
+        recipe.setCategory("Cache Test");
+        Recipe created = recipeService.createRecipe(recipe);
+        assertThat(catalogJson()).contains("Cache Test Oatmeal");
+        assertThat(categoryJson("Cache Test")).contains("Cache Test Oatmeal");
+
+        recipe.setName("Cache Test Porridge");
+        recipeService.updateRecipe(created.getId(), recipe);
+        assertThat(catalogJson()).contains("Cache Test Porridge").doesNotContain("Cache Test Oatmeal");
+        assertThat(categoryJson("Cache Test")).contains("Cache Test Porridge");
+
+        recipeService.deleteRecipe(created.getId());
+        assertThat(catalogJson()).doesNotContain("Cache Test Porridge");
+        assertThat(categoryJson("Cache Test")).isEqualTo("[]");
+    }
+
+    @Test
+    void rolledBackWriteKeepsCachedCatalog() throws Exception {
+        RecipeCatalogCache.EncodedPayload before = recipeService.getAllRecipes().encode(RecipeCatalogCache.Format.JSON);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Recipe recipe = new Recipe();
+            recipe.setName("Rolled Back Smoothie");
+            recipeService.createRecipe(recipe);
+            status.setRollbackOnly();
+        });
+
+        assertThat(recipeService.getAllRecipes().encode(RecipeCatalogCache.Format.JSON)).isSameAs(before);
+        assertThat(catalogJson()).doesNotContain("Rolled Back Smoothie");
+    }
+
+    private String catalogJson() throws Exception {
+        return mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String categoryJson(String category) throws Exception {
+        return mockMvc.perform(get("/api/recipes/category/{category}", category))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}